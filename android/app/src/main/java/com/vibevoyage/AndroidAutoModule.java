@@ -2,6 +2,8 @@ package com.vibevoyage;
 
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.car.app.CarAppService;
 import androidx.car.app.CarContext;
@@ -10,6 +12,8 @@ import androidx.car.app.Session;
 import androidx.car.app.model.Action;
 import androidx.car.app.model.ActionStrip;
 import androidx.car.app.model.CarIcon;
+import androidx.car.app.model.DateTimeWithZone;
+import androidx.car.app.model.Distance;
 import androidx.car.app.model.ItemList;
 import androidx.car.app.model.ListTemplate;
 import androidx.car.app.model.NavigationTemplate;
@@ -35,6 +39,7 @@ import com.facebook.react.modules.core.DeviceEventManagerModule;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TimeZone;
 
 public class AndroidAutoModule extends ReactContextBaseJavaModule {
     
@@ -114,10 +119,15 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
     }
     
     public void sendEvent(String eventName, WritableMap params) {
-        if (reactContext.hasActiveCatalystInstance()) {
-            reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit(eventName, params);
+        boolean traced = NativeTracer.begin(NativeTracer.AUTO_SEND_EVENT);
+        try {
+            if (reactContext.hasActiveCatalystInstance()) {
+                reactContext
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(eventName, params);
+            }
+        } finally {
+            NativeTracer.end(NativeTracer.AUTO_SEND_EVENT, traced);
         }
     }
     
@@ -155,6 +165,8 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
         private ReadableMap mainScreenConfig;
         private ReadableMap currentNavigationData;
         private ReadableArray currentSearchResults;
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+        private volatile MainNavigationScreen navigationScreen;
         
         public VibeVoyageCarAppService(AndroidAutoModule module) {
             this.module = module;
@@ -178,6 +190,16 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
             this.currentSearchResults = results;
         }
         
+        // Templates only re-read the ETA when invalidated, and invalidate() must run on the main thread
+        private void onEstimateChanged(EtaEngine.Estimate estimate) {
+            mainHandler.post(() -> {
+                MainNavigationScreen screen = navigationScreen;
+                if (screen != null) {
+                    screen.invalidate();
+                }
+            });
+        }
+        
         // Car App Session
         public class VibeVoyageSession extends Session {
             
@@ -187,12 +209,16 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
                 if (module != null) {
                     module.onCarAppConnected();
                 }
-                return new MainNavigationScreen(getCarContext());
+                navigationScreen = new MainNavigationScreen(getCarContext());
+                EtaEngine.setListener(VibeVoyageCarAppService.this::onEstimateChanged);
+                return navigationScreen;
             }
             
             @Override
             public void onDestroy() {
                 super.onDestroy();
+                EtaEngine.setListener(null);
+                navigationScreen = null;
                 if (module != null) {
                     module.onCarAppDisconnected();
                 }
@@ -209,6 +235,15 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
             @NonNull
             @Override
             public Template onGetTemplate() {
+                boolean traced = NativeTracer.begin(NativeTracer.AUTO_GET_TEMPLATE);
+                try {
+                    return buildNavigationTemplate();
+                } finally {
+                    NativeTracer.end(NativeTracer.AUTO_GET_TEMPLATE, traced);
+                }
+            }
+            
+            private Template buildNavigationTemplate() {
                 // Create navigation template
                 NavigationTemplate.Builder builder = new NavigationTemplate.Builder();
                 
@@ -272,6 +307,19 @@ public class AndroidAutoModule extends ReactContextBaseJavaModule {
                 
                 builder.setMapActionStrip(mapActionStripBuilder.build());
                 
+                // Destination estimate from the native ETA engine
+                EtaEngine etaEngine = EtaEngine.getShared();
+                EtaEngine.Estimate estimate = etaEngine != null ? etaEngine.getEstimate() : null;
+                if (estimate != null) {
+                    builder.setDestinationTravelEstimate(
+                        new TravelEstimate.Builder(
+                            Distance.create(estimate.remainingMeters / 1000.0, Distance.UNIT_KILOMETERS),
+                            DateTimeWithZone.create(estimate.arrivalTimeMs, TimeZone.getDefault()))
+                            .setRemainingTimeSeconds(Math.round(estimate.remainingSeconds))
+                            .build()
+                    );
+                }
+                
                 return builder.build();
             }
         }
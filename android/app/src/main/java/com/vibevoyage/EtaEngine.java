@@ -0,0 +1,201 @@
+package com.vibevoyage;
+
+import java.util.TimeZone;
+
+// Remaining-time estimates for the active route, driven by segment completions.
+//
+// Expected seconds per route segment are worked out once when the route starts, using the
+// speed history for the hour the driver is predicted to reach that segment, and kept as
+// suffix sums. Each completion records the observed speed and moves the route index, so an
+// update is O(1) no matter how long the route is. Readers on the UI and car threads take the
+// volatile Estimate without locking.
+public final class EtaEngine {
+
+    private static final double DEFAULT_SPEED_MPS = 13.9; // 50 km/h
+    private static final double MIN_RECORDED_SPEED_MPS = 0.5;
+    private static final double MAX_RECORDED_SPEED_MPS = 70.0;
+    private static final long MIN_SEGMENT_DURATION_MS = 1000;
+    private static final int COMPLETION_LOOKAHEAD = 8;
+
+    private static EtaEngine shared;
+    private static volatile Listener listener;
+
+    private final SegmentSpeedHistory history;
+    private final TimeZone timeZone;
+
+    private String[] segmentIds;
+    private double[] lengths;
+    private double[] expectedSeconds;
+    private int[] buckets;
+    // suffixSeconds[i] / suffixMeters[i] cover segments i .. end
+    private double[] suffixSeconds;
+    private double[] suffixMeters;
+    private int current = -1;
+    private long segmentEnteredAt;
+    private boolean segmentEnteredObserved;
+
+    private volatile Estimate estimate;
+
+    // Told when the estimate changes in a way screens should redraw for: a route starting or
+    // ending, or a segment completing. Called on the caller's thread while the engine is locked,
+    // so implementations should only post work elsewhere.
+    public interface Listener {
+        void onEstimateChanged(Estimate estimate);
+    }
+
+    public static final class Estimate {
+        public final double remainingSeconds;
+        public final double remainingMeters;
+        public final long arrivalTimeMs;
+        public final int segmentIndex;
+
+        Estimate(double remainingSeconds, double remainingMeters, long arrivalTimeMs, int segmentIndex) {
+            this.remainingSeconds = remainingSeconds;
+            this.remainingMeters = remainingMeters;
+            this.arrivalTimeMs = arrivalTimeMs;
+            this.segmentIndex = segmentIndex;
+        }
+    }
+
+    public EtaEngine(SegmentSpeedHistory history, TimeZone timeZone) {
+        this.history = history;
+        this.timeZone = timeZone;
+    }
+
+    public static synchronized EtaEngine getShared() {
+        return shared;
+    }
+
+    public static synchronized void setShared(EtaEngine engine) {
+        shared = engine;
+    }
+
+    // Applies to whichever engine is shared, so it survives the engine being replaced
+    public static void setListener(Listener value) {
+        listener = value;
+    }
+
+    public SegmentSpeedHistory getHistory() {
+        return history;
+    }
+
+    // Null when no route is active
+    public Estimate getEstimate() {
+        return estimate;
+    }
+
+    // defaultSpeeds may be null or hold <= 0 entries for segments without a known speed
+    public synchronized void startRoute(String[] ids, double[] segmentLengths, double[] defaultSpeeds, long nowMs) {
+        int count = ids.length;
+        segmentIds = ids;
+        lengths = segmentLengths;
+        expectedSeconds = new double[count];
+        buckets = new int[count];
+        suffixSeconds = new double[count + 1];
+        suffixMeters = new double[count + 1];
+
+        // Walk forward to find the hour each segment is reached, then sum backwards
+        double elapsed = 0;
+        for (int i = 0; i < count; i++) {
+            buckets[i] = SegmentSpeedHistory.bucketOf(nowMs + (long) (elapsed * 1000), timeZone);
+            double speed = history.expectedSpeed(ids[i], buckets[i]);
+            if (speed <= 0) {
+                speed = defaultSpeeds != null && defaultSpeeds[i] > 0 ? defaultSpeeds[i] : DEFAULT_SPEED_MPS;
+            }
+            expectedSeconds[i] = segmentLengths[i] / speed;
+            elapsed += expectedSeconds[i];
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            suffixSeconds[i] = suffixSeconds[i + 1] + expectedSeconds[i];
+            suffixMeters[i] = suffixMeters[i + 1] + segmentLengths[i];
+        }
+
+        current = 0;
+        segmentEnteredAt = nowMs;
+        // The route usually starts part-way along the first segment, so its speed is not recorded
+        segmentEnteredObserved = false;
+        publish(nowMs);
+        notifyListener();
+    }
+
+    public synchronized void endRoute() {
+        segmentIds = null;
+        current = -1;
+        estimate = null;
+        notifyListener();
+    }
+
+    public synchronized boolean isActive() {
+        return current >= 0;
+    }
+
+    // Called with the segment the driver is on, e.g. the map matcher's way id.
+    // Returns true when one or more route segments completed.
+    public synchronized boolean onSegmentObserved(String segmentId, long nowMs) {
+        if (current < 0 || segmentId == null) {
+            return false;
+        }
+
+        if (segmentId.equals(segmentIds[current])) {
+            publish(nowMs);
+            return false;
+        }
+
+        // Only move forward along the route, and only a short way, so matcher noise on a
+        // nearby road cannot skip most of the trip
+        int limit = Math.min(segmentIds.length, current + 1 + COMPLETION_LOOKAHEAD);
+        int next = -1;
+        for (int i = current + 1; i < limit; i++) {
+            if (segmentId.equals(segmentIds[i])) {
+                next = i;
+                break;
+            }
+        }
+        if (next < 0) {
+            return false;
+        }
+
+        long duration = nowMs - segmentEnteredAt;
+        if (segmentEnteredObserved && next == current + 1 && duration >= MIN_SEGMENT_DURATION_MS) {
+            double speed = lengths[current] / (duration / 1000.0);
+            if (speed >= MIN_RECORDED_SPEED_MPS && speed <= MAX_RECORDED_SPEED_MPS) {
+                history.record(segmentIds[current], buckets[current], (float) speed);
+            }
+        }
+
+        current = next;
+        segmentEnteredAt = nowMs;
+        segmentEnteredObserved = true;
+        publish(nowMs);
+        notifyListener();
+        return true;
+    }
+
+    private void notifyListener() {
+        Listener target = listener;
+        if (target != null) {
+            target.onEstimateChanged(estimate);
+        }
+    }
+
+    // Current segment is credited for the time already spent on it, never going below zero.
+    // A fix stamped before the segment was entered counts as no time spent.
+    private void publish(long nowMs) {
+        double spent = Math.max(0, (nowMs - segmentEnteredAt) / 1000.0);
+        double expected = expectedSeconds[current];
+        double progress = expected > 0 ? Math.min(1, spent / expected) : 1;
+
+        double remainingSeconds = Math.max(0, expected - spent) + suffixSeconds[current + 1];
+        double remainingMeters = lengths[current] * (1 - progress) + suffixMeters[current + 1];
+        estimate = new Estimate(remainingSeconds, remainingMeters,
+            nowMs + (long) (remainingSeconds * 1000), current);
+    }
+
+    public static String formatRemaining(double seconds) {
+        long minutes = Math.round(seconds / 60);
+        if (minutes < 60) {
+            return minutes + " min";
+        }
+        return (minutes / 60) + " h " + (minutes % 60) + " min";
+    }
+}
@@ -0,0 +1,179 @@
+package com.vibevoyage;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class EtaModule extends ReactContextBaseJavaModule {
+    private static final String MODULE_NAME = "EtaModule";
+    private static final String HISTORY_FILE = "segment_speed_history.bin";
+    private static final long SAVE_INTERVAL_MS = 60000;
+
+    // One IO thread for every module instance, so loads and saves of the history file across
+    // JS reloads run in order and never write the temporary file concurrently
+    private static final ScheduledExecutorService IO_EXECUTOR = Executors.newSingleThreadScheduledExecutor();
+
+    private ReactApplicationContext reactContext;
+    private final File historyFile;
+    private final SegmentSpeedHistory history = new SegmentSpeedHistory();
+    private final Future<EtaEngine> engineReady;
+    private final ScheduledFuture<?> saveTask;
+    private long savedRevision = 0;
+
+    public EtaModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+        this.historyFile = new File(reactContext.getFilesDir(), HISTORY_FILE);
+
+        // The engine is only shared once the history has loaded, so no route is planned without
+        // it and no sample recorded before the load can be overwritten by it
+        engineReady = IO_EXECUTOR.submit(() -> {
+            try {
+                history.load(historyFile);
+            } catch (IOException e) {
+                // Corrupt or incompatible history; start over rather than fail navigation
+                historyFile.delete();
+            }
+            savedRevision = history.getRevision();
+
+            EtaEngine engine = new EtaEngine(history, TimeZone.getDefault());
+            EtaEngine.setShared(engine);
+            return engine;
+        });
+
+        // Periodic saves bound what a process kill mid-trip can lose
+        saveTask = IO_EXECUTOR.scheduleWithFixedDelay(this::saveIfChanged,
+            SAVE_INTERVAL_MS, SAVE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    // Segments: [{ id, length (meters), speed? (m/s default when there is no history) }].
+    // Ids must be the road-graph way ids given to MapMatchingModule.loadRoadGraph (the feature's
+    // properties.id), since map-matched fixes complete segments by comparing against them;
+    // segments whose id is not in the graph are never completed by matching.
+    // Timestamps here, in observeSegment and in MapMatchingModule.matchFix are epoch ms from the
+    // location fixes; pass the latest fix's time so the whole route runs on that one clock.
+    @ReactMethod
+    public void startRoute(ReadableArray segments, double timestamp, Promise promise) {
+        try {
+            int count = segments.size();
+            if (count == 0) {
+                promise.reject("ETA_EMPTY_ROUTE", "Route has no segments");
+                return;
+            }
+
+            String[] ids = new String[count];
+            double[] lengths = new double[count];
+            double[] speeds = new double[count];
+            for (int i = 0; i < count; i++) {
+                ReadableMap segment = segments.getMap(i);
+                ids[i] = segment.getString("id");
+                lengths[i] = segment.getDouble("length");
+                speeds[i] = segment.hasKey("speed") && !segment.isNull("speed") ? segment.getDouble("speed") : 0;
+            }
+
+            EtaEngine engine = engineReady.get();
+            engine.startRoute(ids, lengths, speeds, (long) timestamp);
+            promise.resolve(toMap(engine.getEstimate()));
+        } catch (Exception e) {
+            promise.reject("ETA_START_ERROR", "Failed to start ETA route", e);
+        }
+    }
+
+    // For callers that track segments themselves; map-matched fixes feed the engine directly
+    @ReactMethod
+    public void observeSegment(String segmentId, double timestamp, Promise promise) {
+        try {
+            EtaEngine engine = engineReady.get();
+            engine.onSegmentObserved(segmentId, (long) timestamp);
+            EtaEngine.Estimate estimate = engine.getEstimate();
+            promise.resolve(estimate != null ? toMap(estimate) : null);
+        } catch (Exception e) {
+            promise.reject("ETA_UPDATE_ERROR", "Failed to update ETA", e);
+        }
+    }
+
+    @ReactMethod
+    public void getEstimate(Promise promise) {
+        try {
+            EtaEngine.Estimate estimate = engineReady.get().getEstimate();
+            promise.resolve(estimate != null ? toMap(estimate) : null);
+        } catch (Exception e) {
+            promise.reject("ETA_ESTIMATE_ERROR", "Failed to read ETA", e);
+        }
+    }
+
+    // Ends the route and persists what was learned on it
+    @ReactMethod
+    public void endRoute(Promise promise) {
+        try {
+            engineReady.get().endRoute();
+        } catch (Exception e) {
+            promise.reject("ETA_END_ERROR", "Failed to end ETA route", e);
+            return;
+        }
+
+        IO_EXECUTOR.execute(() -> {
+            try {
+                save();
+                promise.resolve(true);
+            } catch (IOException e) {
+                promise.reject("ETA_HISTORY_SAVE_ERROR", "Failed to save speed history", e);
+            }
+        });
+    }
+
+    static WritableMap toMap(EtaEngine.Estimate estimate) {
+        WritableMap map = Arguments.createMap();
+        map.putDouble("remainingSeconds", estimate.remainingSeconds);
+        map.putDouble("remainingMeters", estimate.remainingMeters);
+        map.putDouble("arrivalTime", estimate.arrivalTimeMs);
+        map.putInt("segmentIndex", estimate.segmentIndex);
+        map.putString("etaText", EtaEngine.formatRemaining(estimate.remainingSeconds));
+        return map;
+    }
+
+    // Runs on IO_EXECUTOR only
+    private void save() throws IOException {
+        long revision = history.getRevision();
+        history.save(historyFile);
+        savedRevision = revision;
+    }
+
+    private void saveIfChanged() {
+        if (history.getRevision() == savedRevision) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException e) {
+            // Keep the previous file; the next interval retries
+        }
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+        saveTask.cancel(false);
+        // Saves this module's own history, never whichever engine a newer instance has shared
+        IO_EXECUTOR.execute(this::saveIfChanged);
+    }
+}
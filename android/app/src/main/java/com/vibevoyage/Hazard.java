@@ -0,0 +1,59 @@
+package com.vibevoyage;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+// Immutable hazard record, mirroring a feature in hazards.geojson
+public final class Hazard {
+
+    public final String id;
+    public final String type;
+    public final String severity;
+    public final String description;
+    public final double latitude;
+    public final double longitude;
+    public final int speedLimit;
+    public final boolean active;
+    public final boolean verified;
+    public final String lastUpdated;
+
+    public Hazard(String id, String type, String severity, String description,
+                  double latitude, double longitude, int speedLimit,
+                  boolean active, boolean verified, String lastUpdated) {
+        this.id = id;
+        this.type = type;
+        this.severity = severity;
+        this.description = description;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.speedLimit = speedLimit;
+        this.active = active;
+        this.verified = verified;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public Hazard deactivated(String updatedAt) {
+        return new Hazard(id, type, severity, description, latitude, longitude, speedLimit,
+            false, verified, updatedAt != null ? updatedAt : lastUpdated);
+    }
+
+    // Parses a GeoJSON Point feature; coordinates are [longitude, latitude]
+    public static Hazard fromFeature(JSONObject feature) throws JSONException {
+        JSONObject properties = feature.getJSONObject("properties");
+        JSONArray coordinates = feature.getJSONObject("geometry").getJSONArray("coordinates");
+
+        return new Hazard(
+            properties.getString("id"),
+            properties.optString("type", "unknown"),
+            properties.optString("severity", "medium"),
+            properties.optString("description", ""),
+            coordinates.getDouble(1),
+            coordinates.getDouble(0),
+            properties.optInt("speed_limit", 0),
+            properties.optBoolean("active", true),
+            properties.optBoolean("verified", false),
+            properties.optString("last_updated", null)
+        );
+    }
+}
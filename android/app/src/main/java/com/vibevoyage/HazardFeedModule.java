@@ -0,0 +1,290 @@
+package com.vibevoyage;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class HazardFeedModule extends ReactContextBaseJavaModule {
+    private static final String MODULE_NAME = "HazardFeedModule";
+    private static final long DEFAULT_POLL_INTERVAL_MS = 30000;
+    private static final long DEFAULT_COMPACT_INTERVAL_MS = 300000;
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+
+    private ReactApplicationContext reactContext;
+    private final HazardFeedStore store = HazardFeedStore.getInstance();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> pollTask;
+    private ScheduledFuture<?> compactTask;
+    private String feedUrl;
+    private volatile boolean needsFullReload = false;
+
+    public HazardFeedModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    @ReactMethod
+    public void loadSnapshot(String geojson, double version, Promise promise) {
+        try {
+            store.loadSnapshot((long) version, parseFeatures(new JSONObject(geojson)));
+            promise.resolve(getStatus());
+        } catch (Exception e) {
+            promise.reject("HAZARD_SNAPSHOT_ERROR", "Failed to load hazard snapshot", e);
+        }
+    }
+
+    @ReactMethod
+    public void applyDeltaBatch(String batchJson, Promise promise) {
+        try {
+            int result = store.applyDelta(parseDeltaBatch(new JSONObject(batchJson)));
+            WritableMap status = getStatus();
+            status.putString("result", describeResult(result));
+            promise.resolve(status);
+        } catch (Exception e) {
+            promise.reject("HAZARD_DELTA_ERROR", "Failed to apply hazard delta batch", e);
+        }
+    }
+
+    // Polls a local or stand-in endpoint for deltas since the current version
+    @ReactMethod
+    public void startFeed(ReadableMap config, Promise promise) {
+        try {
+            if (!config.hasKey("url")) {
+                promise.reject("HAZARD_FEED_CONFIG_ERROR", "Feed url is required");
+                return;
+            }
+
+            stopTasks();
+            feedUrl = config.getString("url");
+            long pollInterval = config.hasKey("pollIntervalMs")
+                ? (long) config.getDouble("pollIntervalMs") : DEFAULT_POLL_INTERVAL_MS;
+            long compactInterval = config.hasKey("compactIntervalMs")
+                ? (long) config.getDouble("compactIntervalMs") : DEFAULT_COMPACT_INTERVAL_MS;
+            if (config.hasKey("compactThreshold")) {
+                store.setCompactThreshold(config.getInt("compactThreshold"));
+            }
+
+            pollTask = executor.scheduleWithFixedDelay(this::pollFeed, 0, pollInterval, TimeUnit.MILLISECONDS);
+            compactTask = executor.scheduleWithFixedDelay(store::compact,
+                compactInterval, compactInterval, TimeUnit.MILLISECONDS);
+
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("HAZARD_FEED_START_ERROR", "Failed to start hazard feed", e);
+        }
+    }
+
+    @ReactMethod
+    public void stopFeed(Promise promise) {
+        try {
+            stopTasks();
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("HAZARD_FEED_STOP_ERROR", "Failed to stop hazard feed", e);
+        }
+    }
+
+    @ReactMethod
+    public void getFeedStatus(Promise promise) {
+        promise.resolve(getStatus());
+    }
+
+    @ReactMethod
+    public void queryNearby(double latitude, double longitude, double radiusMeters, int limit, Promise promise) {
+        try {
+            WritableArray result = Arguments.createArray();
+            for (Hazard hazard : store.queryNearby(latitude, longitude, radiusMeters, limit)) {
+                WritableMap item = Arguments.createMap();
+                item.putString("id", hazard.id);
+                item.putString("type", hazard.type);
+                item.putString("severity", hazard.severity);
+                item.putString("description", hazard.description);
+                item.putDouble("latitude", hazard.latitude);
+                item.putDouble("longitude", hazard.longitude);
+                item.putBoolean("verified", hazard.verified);
+                item.putInt("distance", (int) Math.round(GeoUtils.distanceMeters(
+                    latitude, longitude, hazard.latitude, hazard.longitude)));
+                result.pushMap(item);
+            }
+            promise.resolve(result);
+        } catch (Exception e) {
+            promise.reject("HAZARD_QUERY_ERROR", "Failed to query hazards", e);
+        }
+    }
+
+    private void pollFeed() {
+        try {
+            String separator = feedUrl.contains("?") ? "&" : "?";
+            String url = needsFullReload
+                ? feedUrl + separator + "full=1"
+                : feedUrl + separator + "since=" + store.getVersion();
+            JSONObject response = new JSONObject(fetch(url));
+
+            int result;
+            if (response.has("snapshot")) {
+                store.loadSnapshot(response.getLong("version"), parseFeatures(response.getJSONObject("snapshot")));
+                result = HazardFeedStore.APPLY_OK;
+            } else {
+                result = store.applyDelta(parseDeltaBatch(response));
+            }
+
+            // A version gap means we missed a batch; ask for a full snapshot on the next poll
+            needsFullReload = result == HazardFeedStore.APPLY_VERSION_GAP;
+
+            if (result == HazardFeedStore.APPLY_OK) {
+                sendEvent("HazardFeed.updated", getStatus());
+            }
+        } catch (JSONException e) {
+            // Re-polling the same version would return the same bad batch forever; recover
+            // with a full snapshot instead
+            needsFullReload = true;
+            sendFeedError(e);
+        } catch (Exception e) {
+            sendFeedError(e);
+        }
+    }
+
+    private void sendFeedError(Exception e) {
+        WritableMap params = Arguments.createMap();
+        params.putString("error", e.getMessage());
+        sendEvent("HazardFeed.error", params);
+    }
+
+    private String fetch(String url) throws IOException {
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(CONNECT_TIMEOUT_MS);
+
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            if (connection instanceof HttpURLConnection) {
+                ((HttpURLConnection) connection).disconnect();
+            }
+        }
+    }
+
+    private static List<Hazard> parseFeatures(JSONObject featureCollection) throws JSONException {
+        JSONArray features = featureCollection.getJSONArray("features");
+        List<Hazard> hazards = new ArrayList<>(features.length());
+        for (int i = 0; i < features.length(); i++) {
+            hazards.add(Hazard.fromFeature(features.getJSONObject(i)));
+        }
+        return hazards;
+    }
+
+    // Batch format: { fromVersion, version, changes: [{ op: add|update|deactivate, id, feature?, last_updated? }] }
+    private static HazardFeedStore.DeltaBatch parseDeltaBatch(JSONObject json) throws JSONException {
+        JSONArray changes = json.getJSONArray("changes");
+        List<HazardFeedStore.Change> parsed = new ArrayList<>(changes.length());
+
+        for (int i = 0; i < changes.length(); i++) {
+            JSONObject change = changes.getJSONObject(i);
+            String op = change.getString("op");
+            String id = change.getString("id");
+
+            switch (op) {
+                case "add":
+                case "update":
+                    Hazard hazard = Hazard.fromFeature(change.getJSONObject("feature"));
+                    // The store keys on the change id, so a mismatch would leave the old copy visible
+                    if (!id.equals(hazard.id)) {
+                        throw new JSONException("Hazard delta id " + id + " does not match feature id " + hazard.id);
+                    }
+                    parsed.add(new HazardFeedStore.Change(
+                        "add".equals(op) ? HazardFeedStore.OP_ADD : HazardFeedStore.OP_UPDATE,
+                        id, hazard, hazard.lastUpdated));
+                    break;
+                case "deactivate":
+                    parsed.add(new HazardFeedStore.Change(HazardFeedStore.OP_DEACTIVATE, id, null,
+                        change.optString("last_updated", null)));
+                    break;
+                default:
+                    throw new JSONException("Unknown hazard delta op: " + op);
+            }
+        }
+
+        return new HazardFeedStore.DeltaBatch(json.getLong("fromVersion"), json.getLong("version"), parsed);
+    }
+
+    private static String describeResult(int result) {
+        switch (result) {
+            case HazardFeedStore.APPLY_OK:
+                return "applied";
+            case HazardFeedStore.APPLY_STALE:
+                return "stale";
+            case HazardFeedStore.APPLY_VERSION_GAP:
+                return "version_gap";
+            default:
+                return "unknown";
+        }
+    }
+
+    private WritableMap getStatus() {
+        WritableMap status = Arguments.createMap();
+        status.putDouble("version", store.getVersion());
+        status.putInt("activeCount", store.getActiveCount());
+        status.putInt("pendingDeltas", store.getPendingDeltaCount());
+        return status;
+    }
+
+    private void stopTasks() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+        if (compactTask != null) {
+            compactTask.cancel(false);
+            compactTask = null;
+        }
+    }
+
+    private void sendEvent(String eventName, WritableMap params) {
+        if (reactContext.hasActiveCatalystInstance()) {
+            reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+        }
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+        stopTasks();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,271 @@
+package com.vibevoyage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory hazard set fed by versioned delta batches.
+//
+// Readers only ever dereference the volatile snapshot, so the overlay alert path never
+// takes a lock. Writers build a new snapshot and publish it in one assignment: a batch
+// copies the small delta layer, and compaction copies only the base segments it touches.
+public class HazardFeedStore {
+
+    public static final int OP_ADD = 0;
+    public static final int OP_UPDATE = 1;
+    public static final int OP_DEACTIVATE = 2;
+
+    public static final int APPLY_OK = 0;
+    public static final int APPLY_STALE = 1;
+    public static final int APPLY_VERSION_GAP = 2;
+
+    private static final int SEGMENT_COUNT = 32;
+    private static final int DEFAULT_COMPACT_THRESHOLD = 256;
+
+    private static final HazardFeedStore INSTANCE = new HazardFeedStore();
+
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.empty();
+    private int compactThreshold = DEFAULT_COMPACT_THRESHOLD;
+
+    public static HazardFeedStore getInstance() {
+        return INSTANCE;
+    }
+
+    public static final class Change {
+        public final int op;
+        public final String id;
+        public final Hazard hazard;
+        public final String updatedAt;
+
+        public Change(int op, String id, Hazard hazard, String updatedAt) {
+            this.op = op;
+            this.id = id;
+            this.hazard = hazard;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    public static final class DeltaBatch {
+        public final long fromVersion;
+        public final long toVersion;
+        public final List<Change> changes;
+
+        public DeltaBatch(long fromVersion, long toVersion, List<Change> changes) {
+            this.fromVersion = fromVersion;
+            this.toVersion = toVersion;
+            this.changes = changes;
+        }
+    }
+
+    // Published state. Segment and delta maps are never mutated once a snapshot is visible.
+    private static final class Snapshot {
+        final long version;
+        final Map<String, Hazard>[] segments;
+        final Map<String, Hazard> delta;
+        final int activeCount;
+
+        Snapshot(long version, Map<String, Hazard>[] segments, Map<String, Hazard> delta, int activeCount) {
+            this.version = version;
+            this.segments = segments;
+            this.delta = delta;
+            this.activeCount = activeCount;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static Snapshot empty() {
+            Map<String, Hazard>[] segments = new Map[SEGMENT_COUNT];
+            for (int i = 0; i < SEGMENT_COUNT; i++) {
+                segments[i] = Collections.emptyMap();
+            }
+            return new Snapshot(0, segments, Collections.<String, Hazard>emptyMap(), 0);
+        }
+
+        Hazard get(String id) {
+            Hazard hazard = delta.get(id);
+            return hazard != null ? hazard : segments[segmentOf(id)].get(id);
+        }
+    }
+
+    public void setCompactThreshold(int threshold) {
+        synchronized (writeLock) {
+            compactThreshold = Math.max(1, threshold);
+        }
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    public int getActiveCount() {
+        return snapshot.activeCount;
+    }
+
+    public int getPendingDeltaCount() {
+        return snapshot.delta.size();
+    }
+
+    public Hazard getHazard(String id) {
+        return snapshot.get(id);
+    }
+
+    // Replaces everything with a full snapshot, e.g. the bundled hazards.geojson
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void loadSnapshot(long version, List<Hazard> hazards) {
+        Map<String, Hazard>[] segments = new Map[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new HashMap<>();
+        }
+
+        int activeCount = 0;
+        for (Hazard hazard : hazards) {
+            Hazard previous = segments[segmentOf(hazard.id)].put(hazard.id, hazard);
+            activeCount += countActive(hazard) - countActive(previous);
+        }
+
+        synchronized (writeLock) {
+            snapshot = new Snapshot(version, segments, Collections.<String, Hazard>emptyMap(), activeCount);
+        }
+    }
+
+    // Applies a batch atomically: either every change becomes visible together or none does
+    public int applyDelta(DeltaBatch batch) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+
+            if (batch.toVersion <= current.version) {
+                return APPLY_STALE;
+            }
+            if (batch.fromVersion != current.version) {
+                return APPLY_VERSION_GAP;
+            }
+
+            Map<String, Hazard> delta = new HashMap<>(current.delta);
+            int activeCount = current.activeCount;
+
+            for (Change change : batch.changes) {
+                Hazard previous = delta.containsKey(change.id)
+                    ? delta.get(change.id)
+                    : current.segments[segmentOf(change.id)].get(change.id);
+                Hazard next;
+
+                switch (change.op) {
+                    case OP_ADD:
+                    case OP_UPDATE:
+                        next = change.hazard;
+                        break;
+                    case OP_DEACTIVATE:
+                        // Deactivating an unknown id is a no-op
+                        next = previous != null ? previous.deactivated(change.updatedAt) : null;
+                        break;
+                    default:
+                        next = null;
+                }
+
+                if (next == null) {
+                    continue;
+                }
+
+                delta.put(change.id, next);
+                activeCount += countActive(next) - countActive(previous);
+            }
+
+            snapshot = new Snapshot(batch.toVersion, current.segments, delta, activeCount);
+
+            if (delta.size() >= compactThreshold) {
+                compact();
+            }
+            return APPLY_OK;
+        }
+    }
+
+    // Folds the delta layer into the base segments, copying only the segments it touches.
+    // Deactivated hazards are dropped here so the base set does not grow without bound.
+    public void compact() {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current.delta.isEmpty()) {
+                return;
+            }
+
+            Map<String, Hazard>[] segments = current.segments.clone();
+            boolean[] copied = new boolean[SEGMENT_COUNT];
+
+            for (Map.Entry<String, Hazard> entry : current.delta.entrySet()) {
+                int segment = segmentOf(entry.getKey());
+                if (!copied[segment]) {
+                    segments[segment] = new HashMap<>(segments[segment]);
+                    copied[segment] = true;
+                }
+
+                if (entry.getValue().active) {
+                    segments[segment].put(entry.getKey(), entry.getValue());
+                } else {
+                    segments[segment].remove(entry.getKey());
+                }
+            }
+
+            snapshot = new Snapshot(current.version, segments,
+                Collections.<String, Hazard>emptyMap(), current.activeCount);
+        }
+    }
+
+    // Lock-free read for the alert path; returns active hazards sorted by distance.
+    // A limit of zero or less means no limit.
+    public List<Hazard> queryNearby(double latitude, double longitude, double radiusMeters, int limit) {
+        Snapshot current = snapshot;
+        List<NearbyHazard> matches = new ArrayList<>();
+
+        for (Hazard hazard : current.delta.values()) {
+            collectIfNear(hazard, latitude, longitude, radiusMeters, matches);
+        }
+        for (Map<String, Hazard> segment : current.segments) {
+            for (Hazard hazard : segment.values()) {
+                if (!current.delta.containsKey(hazard.id)) {
+                    collectIfNear(hazard, latitude, longitude, radiusMeters, matches);
+                }
+            }
+        }
+
+        // Distances were computed once during the scan; sort on the stored value
+        Collections.sort(matches, (a, b) -> Double.compare(a.distance, b.distance));
+
+        int count = limit > 0 ? Math.min(limit, matches.size()) : matches.size();
+        List<Hazard> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(matches.get(i).hazard);
+        }
+        return result;
+    }
+
+    private static final class NearbyHazard {
+        final Hazard hazard;
+        final double distance;
+
+        NearbyHazard(Hazard hazard, double distance) {
+            this.hazard = hazard;
+            this.distance = distance;
+        }
+    }
+
+    private static void collectIfNear(Hazard hazard, double latitude, double longitude, double radiusMeters,
+                                      List<NearbyHazard> matches) {
+        if (!hazard.active) {
+            return;
+        }
+        double distance = GeoUtils.distanceMeters(latitude, longitude, hazard.latitude, hazard.longitude);
+        if (distance <= radiusMeters) {
+            matches.add(new NearbyHazard(hazard, distance));
+        }
+    }
+
+    private static int segmentOf(String id) {
+        return (id.hashCode() & 0x7fffffff) % SEGMENT_COUNT;
+    }
+
+    private static int countActive(Hazard hazard) {
+        return hazard != null && hazard.active ? 1 : 0;
+    }
+}
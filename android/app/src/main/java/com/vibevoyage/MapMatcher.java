@@ -0,0 +1,284 @@
+package com.vibevoyage;
+
+// Online hidden-Markov-model map matcher over a RoadGraph.
+//
+// Hidden states are candidate edges near each fix. Emission favours candidates close to the
+// fix (Gaussian GPS noise); transition favours candidates whose route distance matches the
+// straight-line distance between fixes (exponential). Viterbi columns live in a bounded ring
+// of primitive arrays, so match() allocates nothing and keeps up with 10 Hz fixes.
+//
+// Not thread-safe: feed fixes from one thread, or use one matcher per trace.
+public final class MapMatcher {
+
+    public static final int WINDOW = 8;
+    public static final int MAX_CANDIDATES = 8;
+
+    private static final double DEFAULT_SIGMA_METERS = 5.0;
+    private static final double DEFAULT_BETA_METERS = 3.0;
+    private static final double DEFAULT_SEARCH_RADIUS_METERS = 50.0;
+    private static final long MAX_FIX_GAP_MS = 10000;
+    private static final double NO_ROUTE_PENALTY_METERS = 200.0;
+    private static final int MAX_CONSECUTIVE_MISSES = 5;
+
+    private static MapMatcher shared;
+
+    private final RoadGraph graph;
+    private final double sigma;
+    private final double beta;
+    private final double searchRadius;
+
+    // Ring of Viterbi columns; column c occupies [c * MAX_CANDIDATES, (c + 1) * MAX_CANDIDATES)
+    private final int[] candidateEdge = new int[WINDOW * MAX_CANDIDATES];
+    private final double[] candidateFraction = new double[WINDOW * MAX_CANDIDATES];
+    private final double[] candidateDistance = new double[WINDOW * MAX_CANDIDATES];
+    private final double[] score = new double[WINDOW * MAX_CANDIDATES];
+    private final int[] backPointer = new int[WINDOW * MAX_CANDIDATES];
+    private final int[] candidateCount = new int[WINDOW];
+    private final double[] fixLat = new double[WINDOW];
+    private final double[] fixLon = new double[WINDOW];
+    private final long[] fixTime = new long[WINDOW];
+    private int head = -1;
+    private int size = 0;
+    private long lastFixTime = Long.MIN_VALUE;
+    private int consecutiveMisses = 0;
+
+    // Scratch space for candidate lookup
+    private final int[] scratchEdges = new int[MAX_CANDIDATES];
+    private final double[] scratchFractions = new double[MAX_CANDIDATES];
+    private final double[] scratchDistances = new double[MAX_CANDIDATES];
+
+    private final MatchResult result = new MatchResult();
+
+    // Reused for every match() call; copy the fields out before the next fix
+    public static final class MatchResult {
+        public boolean matched;
+        public double latitude;
+        public double longitude;
+        public double distanceFromFix;
+        public int edge;
+        public String wayId;
+        // Way at the oldest fix in the window, after backtracking from the current best state.
+        // Lags by WINDOW - 1 fixes but is far more stable than wayId, so act on this one.
+        public String confirmedWayId;
+        // Time of the fix confirmedWayId refers to, for timing segment changes without the lag
+        public long confirmedTimestampMs;
+    }
+
+    public MapMatcher(RoadGraph graph) {
+        this(graph, DEFAULT_SIGMA_METERS, DEFAULT_BETA_METERS, DEFAULT_SEARCH_RADIUS_METERS);
+    }
+
+    public MapMatcher(RoadGraph graph, double sigma, double beta, double searchRadius) {
+        this.graph = graph;
+        this.sigma = sigma;
+        this.beta = beta;
+        this.searchRadius = searchRadius;
+    }
+
+    public static synchronized MapMatcher getShared() {
+        return shared;
+    }
+
+    public static synchronized void setShared(MapMatcher matcher) {
+        shared = matcher;
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    public void reset() {
+        head = -1;
+        size = 0;
+        lastFixTime = Long.MIN_VALUE;
+        consecutiveMisses = 0;
+    }
+
+    public MatchResult match(double lat, double lon, long timestampMs) {
+        if (lastFixTime != Long.MIN_VALUE && timestampMs - lastFixTime > MAX_FIX_GAP_MS) {
+            reset();
+        }
+
+        int count = graph.findCandidates(lat, lon, searchRadius, MAX_CANDIDATES,
+            scratchEdges, scratchFractions, scratchDistances);
+
+        // No road nearby: report the raw fix. A single miss is usually a multipath outlier,
+        // so the chain is kept and the next fix transitions from the last matched one; only
+        // a run of misses means we have really left the road network.
+        if (count == 0) {
+            if (++consecutiveMisses >= MAX_CONSECUTIVE_MISSES) {
+                reset();
+            } else {
+                lastFixTime = timestampMs;
+            }
+            result.matched = false;
+            result.latitude = lat;
+            result.longitude = lon;
+            result.distanceFromFix = 0;
+            result.edge = -1;
+            result.wayId = null;
+            result.confirmedWayId = null;
+            result.confirmedTimestampMs = 0;
+            return result;
+        }
+
+        lastFixTime = timestampMs;
+        consecutiveMisses = 0;
+
+        int previous = head;
+        head = (head + 1) % WINDOW;
+        size = Math.min(size + 1, WINDOW);
+        candidateCount[head] = count;
+        fixLat[head] = lat;
+        fixLon[head] = lon;
+        fixTime[head] = timestampMs;
+
+        int base = head * MAX_CANDIDATES;
+        double straight = size > 1 ? GeoUtils.distanceMeters(fixLat[previous], fixLon[previous], lat, lon) : 0;
+        double best = Double.NEGATIVE_INFINITY;
+        int bestIndex = 0;
+
+        for (int j = 0; j < count; j++) {
+            int slot = base + j;
+            candidateEdge[slot] = scratchEdges[j];
+            candidateFraction[slot] = scratchFractions[j];
+            candidateDistance[slot] = scratchDistances[j];
+
+            double z = scratchDistances[j] / sigma;
+            double emission = -0.5 * z * z;
+            double bestTransition = 0;
+            int bestPrevious = -1;
+
+            if (size > 1) {
+                bestTransition = Double.NEGATIVE_INFINITY;
+                int prevBase = previous * MAX_CANDIDATES;
+                for (int i = 0; i < candidateCount[previous]; i++) {
+                    int prevSlot = prevBase + i;
+                    double route = routeDistance(candidateEdge[prevSlot], candidateFraction[prevSlot],
+                        scratchEdges[j], scratchFractions[j]);
+                    double candidate = score[prevSlot] - Math.abs(route - straight) / beta;
+                    if (candidate > bestTransition) {
+                        bestTransition = candidate;
+                        bestPrevious = i;
+                    }
+                }
+            }
+
+            score[slot] = emission + bestTransition;
+            backPointer[slot] = bestPrevious;
+            if (score[slot] > best) {
+                best = score[slot];
+                bestIndex = j;
+            }
+        }
+
+        // Normalise so scores stay in range over long drives
+        for (int j = 0; j < count; j++) {
+            score[base + j] -= best;
+        }
+
+        int bestSlot = base + bestIndex;
+        int edge = candidateEdge[bestSlot];
+        double fraction = candidateFraction[bestSlot];
+
+        result.matched = true;
+        result.edge = edge;
+        result.latitude = pointLat(edge, fraction);
+        result.longitude = pointLon(edge, fraction);
+        result.distanceFromFix = candidateDistance[bestSlot];
+        result.wayId = graph.getWayId(edge);
+        if (size == WINDOW) {
+            int confirmedSlot = backtrack(bestIndex);
+            result.confirmedWayId = graph.getWayId(candidateEdge[confirmedSlot]);
+            result.confirmedTimestampMs = fixTime[confirmedSlot / MAX_CANDIDATES];
+        } else {
+            result.confirmedWayId = null;
+            result.confirmedTimestampMs = 0;
+        }
+        return result;
+    }
+
+    // Follows back pointers from the current best state to the oldest column in the window
+    // and returns that candidate's slot
+    private int backtrack(int index) {
+        int column = head;
+        for (int step = 1; step < size; step++) {
+            int previousIndex = backPointer[column * MAX_CANDIDATES + index];
+            if (previousIndex < 0) {
+                break;
+            }
+            column = (column - 1 + WINDOW) % WINDOW;
+            index = previousIndex;
+        }
+        return column * MAX_CANDIDATES + index;
+    }
+
+    // Shortest route between two points on edges, searching at most two edges away.
+    // Fixes at 10 Hz rarely cross more than that; anything further gets a flat penalty.
+    private double routeDistance(int fromEdge, double fromFraction, int toEdge, double toFraction) {
+        if (fromEdge == toEdge) {
+            return Math.abs(toFraction - fromFraction) * graph.length[fromEdge];
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+        for (int side = 0; side < 2; side++) {
+            int node = side == 0 ? graph.startNode[fromEdge] : graph.endNode[fromEdge];
+            double toNode = (side == 0 ? fromFraction : 1 - fromFraction) * graph.length[fromEdge];
+
+            double direct = distanceFromNode(node, toEdge, toFraction);
+            if (toNode + direct < best) {
+                best = toNode + direct;
+            }
+
+            for (int k = graph.nodeEdgeStart[node]; k < graph.nodeEdgeStart[node + 1]; k++) {
+                int via = graph.nodeEdges[k];
+                if (via == fromEdge || via == toEdge) {
+                    continue;
+                }
+                int other = graph.startNode[via] == node ? graph.endNode[via] : graph.startNode[via];
+                double total = toNode + graph.length[via] + distanceFromNode(other, toEdge, toFraction);
+                if (total < best) {
+                    best = total;
+                }
+            }
+        }
+
+        if (best == Double.POSITIVE_INFINITY) {
+            return GeoUtils.distanceMeters(
+                pointLat(fromEdge, fromFraction), pointLon(fromEdge, fromFraction),
+                pointLat(toEdge, toFraction), pointLon(toEdge, toFraction)) + NO_ROUTE_PENALTY_METERS;
+        }
+        return best;
+    }
+
+    private double pointLat(int edge, double fraction) {
+        return graph.startLat[edge] + fraction * (graph.endLat[edge] - graph.startLat[edge]);
+    }
+
+    private double pointLon(int edge, double fraction) {
+        return graph.startLon[edge] + fraction * (graph.endLon[edge] - graph.startLon[edge]);
+    }
+
+    private double distanceFromNode(int node, int edge, double fraction) {
+        if (graph.startNode[edge] == node) {
+            return fraction * graph.length[edge];
+        }
+        if (graph.endNode[edge] == node) {
+            return (1 - fraction) * graph.length[edge];
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    // Matches a recorded trace offline with a fresh window; outputs are parallel to the inputs.
+    // Unmatched fixes keep their raw position and a null way id.
+    public static void matchTrace(RoadGraph graph, double[] lats, double[] lons, long[] timestamps,
+                                  double[] outLats, double[] outLons, String[] outWayIds) {
+        MapMatcher matcher = new MapMatcher(graph);
+        for (int i = 0; i < lats.length; i++) {
+            MatchResult match = matcher.match(lats[i], lons[i], timestamps[i]);
+            outLats[i] = match.latitude;
+            outLons[i] = match.longitude;
+            outWayIds[i] = match.wayId;
+        }
+    }
+}
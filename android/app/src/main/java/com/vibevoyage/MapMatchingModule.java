@@ -0,0 +1,187 @@
+package com.vibevoyage;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class MapMatchingModule extends ReactContextBaseJavaModule {
+    private static final String MODULE_NAME = "MapMatchingModule";
+
+    private ReactApplicationContext reactContext;
+
+    public MapMatchingModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    // Expects a GeoJSON FeatureCollection of LineString / MultiLineString roads with an id
+    @ReactMethod
+    public void loadRoadGraph(String geojson, Promise promise) {
+        try {
+            RoadGraph graph = parseRoadGraph(new JSONObject(geojson));
+            MapMatcher.setShared(new MapMatcher(graph));
+
+            WritableMap result = Arguments.createMap();
+            result.putInt("edgeCount", graph.getEdgeCount());
+            promise.resolve(result);
+        } catch (Exception e) {
+            promise.reject("MAP_MATCHING_GRAPH_ERROR", "Failed to load road graph", e);
+        }
+    }
+
+    // timestamp is the fix's epoch ms (e.g. the JS location timestamp); the ETA engine times
+    // segments with it, so EtaModule.startRoute must be given a time on the same clock
+    @ReactMethod
+    public void matchFix(double latitude, double longitude, double timestamp, Promise promise) {
+        try {
+            MapMatcher matcher = MapMatcher.getShared();
+            if (matcher == null) {
+                promise.reject("NO_ROAD_GRAPH", "Road graph not loaded");
+                return;
+            }
+
+            // Bridge maps are consumed on send, so the event and the promise each get their own
+            MapMatcher.MatchResult match = matcher.match(latitude, longitude, (long) timestamp);
+            sendEvent("MapMatching.matched", toMap(match));
+
+            // Completed route segments drive the native ETA. The confirmed way is used rather
+            // than the instantaneous best, since the engine only moves forward and a one-fix
+            // flicker onto a road further along the route would skip segments for good.
+            EtaEngine etaEngine = EtaEngine.getShared();
+            if (match.confirmedWayId != null && etaEngine != null
+                && etaEngine.onSegmentObserved(match.confirmedWayId, match.confirmedTimestampMs)) {
+                EtaEngine.Estimate estimate = etaEngine.getEstimate();
+                if (estimate != null) {
+                    sendEvent("Eta.updated", EtaModule.toMap(estimate));
+                }
+            }
+
+            promise.resolve(toMap(match));
+        } catch (Exception e) {
+            promise.reject("MAP_MATCHING_ERROR", "Failed to match position", e);
+        }
+    }
+
+    @ReactMethod
+    public void resetMatcher(Promise promise) {
+        MapMatcher matcher = MapMatcher.getShared();
+        if (matcher != null) {
+            matcher.reset();
+        }
+        promise.resolve(true);
+    }
+
+    // Matches a recorded trace of { latitude, longitude, timestamp } fixes with a fresh matcher,
+    // leaving the live matching state untouched
+    @ReactMethod
+    public void matchRecordedTrace(ReadableArray fixes, Promise promise) {
+        try {
+            MapMatcher matcher = MapMatcher.getShared();
+            if (matcher == null) {
+                promise.reject("NO_ROAD_GRAPH", "Road graph not loaded");
+                return;
+            }
+
+            int count = fixes.size();
+            double[] lats = new double[count];
+            double[] lons = new double[count];
+            long[] timestamps = new long[count];
+            for (int i = 0; i < count; i++) {
+                ReadableMap fix = fixes.getMap(i);
+                lats[i] = fix.getDouble("latitude");
+                lons[i] = fix.getDouble("longitude");
+                timestamps[i] = (long) fix.getDouble("timestamp");
+            }
+
+            double[] outLats = new double[count];
+            double[] outLons = new double[count];
+            String[] outWayIds = new String[count];
+            MapMatcher.matchTrace(matcher.getGraph(), lats, lons, timestamps, outLats, outLons, outWayIds);
+
+            WritableArray result = Arguments.createArray();
+            for (int i = 0; i < count; i++) {
+                WritableMap item = Arguments.createMap();
+                item.putBoolean("matched", outWayIds[i] != null);
+                item.putDouble("latitude", outLats[i]);
+                item.putDouble("longitude", outLons[i]);
+                item.putString("segmentId", outWayIds[i]);
+                result.pushMap(item);
+            }
+            promise.resolve(result);
+        } catch (Exception e) {
+            promise.reject("MAP_MATCHING_TRACE_ERROR", "Failed to match recorded trace", e);
+        }
+    }
+
+    private static RoadGraph parseRoadGraph(JSONObject featureCollection) throws JSONException {
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        JSONArray features = featureCollection.getJSONArray("features");
+
+        for (int i = 0; i < features.length(); i++) {
+            JSONObject feature = features.getJSONObject(i);
+            JSONObject geometry = feature.getJSONObject("geometry");
+            JSONObject properties = feature.optJSONObject("properties");
+            String id = properties != null && properties.has("id")
+                ? properties.getString("id")
+                : feature.optString("id", "road_" + i);
+
+            String type = geometry.getString("type");
+            JSONArray coordinates = geometry.getJSONArray("coordinates");
+            if ("LineString".equals(type)) {
+                addLine(builder, id, coordinates);
+            } else if ("MultiLineString".equals(type)) {
+                for (int k = 0; k < coordinates.length(); k++) {
+                    addLine(builder, id, coordinates.getJSONArray(k));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    // GeoJSON positions are [longitude, latitude]
+    private static void addLine(RoadGraph.Builder builder, String id, JSONArray coordinates) throws JSONException {
+        double[] lats = new double[coordinates.length()];
+        double[] lons = new double[coordinates.length()];
+        for (int i = 0; i < coordinates.length(); i++) {
+            JSONArray position = coordinates.getJSONArray(i);
+            lons[i] = position.getDouble(0);
+            lats[i] = position.getDouble(1);
+        }
+        builder.addWay(id, lats, lons);
+    }
+
+    private static WritableMap toMap(MapMatcher.MatchResult match) {
+        WritableMap map = Arguments.createMap();
+        map.putBoolean("matched", match.matched);
+        map.putDouble("latitude", match.latitude);
+        map.putDouble("longitude", match.longitude);
+        map.putDouble("distanceFromFix", match.distanceFromFix);
+        map.putString("segmentId", match.wayId);
+        map.putString("confirmedSegmentId", match.confirmedWayId);
+        return map;
+    }
+
+    private void sendEvent(String eventName, WritableMap params) {
+        if (reactContext.hasActiveCatalystInstance()) {
+            reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, params);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.vibevoyage;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Low-overhead trace sections for the native hot paths.
+//
+// Each section is emitted as an android.os.Trace section and recorded into a preallocated
+// ring buffer of longs. Writers claim slots with a single atomic increment and never block;
+// when tracing is disabled begin() is one volatile read. Usage:
+//
+//     boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_UPDATE_CONTENT);
+//     try { ... } finally { NativeTracer.end(NativeTracer.OVERLAY_UPDATE_CONTENT, traced); }
+public final class NativeTracer {
+
+    public static final int OVERLAY_UPDATE_DATA = 0;
+    public static final int OVERLAY_UPDATE_CONTENT = 1;
+    public static final int OVERLAY_CREATE_VIEW = 2;
+    public static final int OVERLAY_ADD_VIEW = 3;
+    public static final int OVERLAY_DRAG_MOVE = 4;
+    public static final int AUTO_GET_TEMPLATE = 5;
+    public static final int AUTO_SEND_EVENT = 6;
+
+    private static final String[] SECTION_NAMES = {
+        "Overlay.updateOverlayData",
+        "Overlay.updateOverlayContent",
+        "Overlay.createOverlayView",
+        "Overlay.addView",
+        "Overlay.dragMove",
+        "AndroidAuto.onGetTemplate",
+        "AndroidAuto.sendEvent"
+    };
+
+    private static final int PHASE_BEGIN = 0;
+    private static final int PHASE_END = 1;
+
+    // Record layout: [sequence, timestampNanos, phase << 32 | section, threadId]
+    private static final int RECORD_LONGS = 4;
+    private static final int CAPACITY = 1 << 14;
+    private static final int MASK = CAPACITY - 1;
+
+    private static final AtomicLongArray buffer = new AtomicLongArray(CAPACITY * RECORD_LONGS);
+    private static final AtomicLong cursor = new AtomicLong();
+    private static volatile boolean enabled = false;
+
+    private NativeTracer() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean begin(int section) {
+        if (!enabled) {
+            return false;
+        }
+        Trace.beginSection(SECTION_NAMES[section]);
+        record(PHASE_BEGIN, section);
+        return true;
+    }
+
+    // Takes the value returned by begin() so a section stays balanced if tracing is toggled mid-way
+    public static void end(int section, boolean traced) {
+        if (!traced) {
+            return;
+        }
+        record(PHASE_END, section);
+        Trace.endSection();
+    }
+
+    public static void clear() {
+        long end = cursor.get();
+        for (long index = Math.max(0, end - CAPACITY); index < end; index++) {
+            buffer.lazySet((int) (index & MASK) * RECORD_LONGS, 0);
+        }
+    }
+
+    public static long getRecordedCount() {
+        return cursor.get();
+    }
+
+    private static void record(int phase, int section) {
+        long index = cursor.getAndIncrement();
+        int slot = (int) (index & MASK) * RECORD_LONGS;
+
+        // Invalidate the slot first so a concurrent export skips a half-written record
+        buffer.lazySet(slot, 0);
+        buffer.lazySet(slot + 1, SystemClock.elapsedRealtimeNanos());
+        buffer.lazySet(slot + 2, ((long) phase << 32) | section);
+        buffer.lazySet(slot + 3, Process.myTid());
+        buffer.set(slot, index + 1);
+    }
+
+    // Writes the buffered records as Chrome JSON trace events, which Perfetto UI opens directly
+    public static int export(Writer out) throws IOException {
+        int pid = Process.myPid();
+        long end = cursor.get();
+        int written = 0;
+
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        for (long index = Math.max(0, end - CAPACITY); index < end; index++) {
+            int slot = (int) (index & MASK) * RECORD_LONGS;
+            if (buffer.get(slot) != index + 1) {
+                continue;
+            }
+
+            long timestamp = buffer.get(slot + 1);
+            long kind = buffer.get(slot + 2);
+            long tid = buffer.get(slot + 3);
+
+            // Overwritten while reading
+            if (buffer.get(slot) != index + 1) {
+                continue;
+            }
+
+            int phase = (int) (kind >>> 32);
+            int section = (int) kind;
+
+            if (written > 0) {
+                out.write(',');
+            }
+            out.write("{\"name\":\"");
+            out.write(SECTION_NAMES[section]);
+            out.write("\",\"ph\":\"");
+            out.write(phase == PHASE_BEGIN ? 'B' : 'E');
+            out.write("\",\"ts\":");
+            out.write(Long.toString(timestamp / 1000));
+            out.write('.');
+            writeMicrosFraction(out, (int) (timestamp % 1000));
+            out.write(",\"pid\":");
+            out.write(Integer.toString(pid));
+            out.write(",\"tid\":");
+            out.write(Long.toString(tid));
+            out.write('}');
+            written++;
+        }
+
+        out.write("]}");
+        return written;
+    }
+
+    // Zero-padded to three ASCII digits; avoids String.format, whose digits follow the default locale
+    private static void writeMicrosFraction(Writer out, int nanos) throws IOException {
+        out.write((char) ('0' + nanos / 100));
+        out.write((char) ('0' + nanos / 10 % 10));
+        out.write((char) ('0' + nanos % 10));
+    }
+}
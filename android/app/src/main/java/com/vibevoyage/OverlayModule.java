@@ -133,7 +133,12 @@ public class OverlayModule extends ReactContextBaseJavaModule {
             createOverlayView(config);
             setupOverlayParams(config);
             
-            windowManager.addView(overlayView, overlayParams);
+            boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_ADD_VIEW);
+            try {
+                windowManager.addView(overlayView, overlayParams);
+            } finally {
+                NativeTracer.end(NativeTracer.OVERLAY_ADD_VIEW, traced);
+            }
             isOverlayShown = true;
             
             promise.resolve(true);
@@ -163,6 +168,7 @@ public class OverlayModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void updateOverlayData(ReadableMap data, Promise promise) {
+        boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_UPDATE_DATA);
         try {
             if (!isOverlayShown || overlayView == null) {
                 if (promise != null) {
@@ -180,10 +186,21 @@ public class OverlayModule extends ReactContextBaseJavaModule {
             if (promise != null) {
                 promise.reject("OVERLAY_UPDATE_ERROR", "Failed to update overlay", e);
             }
+        } finally {
+            NativeTracer.end(NativeTracer.OVERLAY_UPDATE_DATA, traced);
         }
     }
 
     private void createOverlayView(ReadableMap config) {
+        boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_CREATE_VIEW);
+        try {
+            inflateOverlayView(config);
+        } finally {
+            NativeTracer.end(NativeTracer.OVERLAY_CREATE_VIEW, traced);
+        }
+    }
+
+    private void inflateOverlayView(ReadableMap config) {
         LayoutInflater inflater = LayoutInflater.from(reactContext);
         overlayView = inflater.inflate(R.layout.navigation_overlay, null);
         
@@ -269,9 +286,14 @@ public class OverlayModule extends ReactContextBaseJavaModule {
                         return true;
                         
                     case MotionEvent.ACTION_MOVE:
-                        overlayParams.x = initialX + (int) (event.getRawX() - initialTouchX);
-                        overlayParams.y = initialY + (int) (event.getRawY() - initialTouchY);
-                        windowManager.updateViewLayout(overlayView, overlayParams);
+                        boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_DRAG_MOVE);
+                        try {
+                            overlayParams.x = initialX + (int) (event.getRawX() - initialTouchX);
+                            overlayParams.y = initialY + (int) (event.getRawY() - initialTouchY);
+                            windowManager.updateViewLayout(overlayView, overlayParams);
+                        } finally {
+                            NativeTracer.end(NativeTracer.OVERLAY_DRAG_MOVE, traced);
+                        }
                         return true;
                         
                     case MotionEvent.ACTION_UP:
@@ -285,6 +307,15 @@ public class OverlayModule extends ReactContextBaseJavaModule {
     private void updateOverlayContent(ReadableMap data) {
         if (data == null) return;
 
+        boolean traced = NativeTracer.begin(NativeTracer.OVERLAY_UPDATE_CONTENT);
+        try {
+            applyOverlayContent(data);
+        } finally {
+            NativeTracer.end(NativeTracer.OVERLAY_UPDATE_CONTENT, traced);
+        }
+    }
+
+    private void applyOverlayContent(ReadableMap data) {
         // Update speed
         if (data.hasKey("currentSpeed") && speedText != null) {
             int speed = data.getInt("currentSpeed");
@@ -313,8 +344,13 @@ public class OverlayModule extends ReactContextBaseJavaModule {
             }
         }
 
-        // Update ETA
-        if (data.hasKey("eta") && etaText != null) {
+        // Update ETA, preferring the native estimate while it is tracking a route
+        EtaEngine etaEngine = EtaEngine.getShared();
+        EtaEngine.Estimate estimate = etaEngine != null ? etaEngine.getEstimate() : null;
+        if (estimate != null && etaText != null) {
+            etaText.setText(EtaEngine.formatRemaining(estimate.remainingSeconds));
+            etaText.setVisibility(View.VISIBLE);
+        } else if (data.hasKey("eta") && etaText != null) {
             if (data.isNull("eta")) {
                 etaText.setVisibility(View.GONE);
             } else {
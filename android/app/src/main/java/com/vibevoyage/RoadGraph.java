@@ -0,0 +1,281 @@
+package com.vibevoyage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable road graph for map matching, stored as primitive arrays.
+//
+// Every way (a LineString road) is split into straight edges between consecutive points.
+// Endpoints with identical coordinates become shared nodes, and edges are bucketed into a
+// fixed-size lat/lon grid so candidate lookup allocates nothing.
+public final class RoadGraph {
+
+    private static final double CELL_SIZE_DEGREES = 0.001;
+
+    final int edgeCount;
+    final double[] startLat;
+    final double[] startLon;
+    final double[] endLat;
+    final double[] endLon;
+    final double[] length;
+    final int[] startNode;
+    final int[] endNode;
+    final int[] edgeWay;
+    final String[] wayIds;
+
+    // Edges touching each node, CSR layout: nodeEdges[nodeEdgeStart[n] .. nodeEdgeStart[n + 1])
+    final int[] nodeEdgeStart;
+    final int[] nodeEdges;
+
+    // Edges per grid cell, CSR layout keyed by sorted cell keys
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final int[] cellEdges;
+
+    private RoadGraph(Builder builder) {
+        edgeCount = builder.edgeCount;
+        startLat = Arrays.copyOf(builder.startLat, edgeCount);
+        startLon = Arrays.copyOf(builder.startLon, edgeCount);
+        endLat = Arrays.copyOf(builder.endLat, edgeCount);
+        endLon = Arrays.copyOf(builder.endLon, edgeCount);
+        startNode = Arrays.copyOf(builder.startNode, edgeCount);
+        endNode = Arrays.copyOf(builder.endNode, edgeCount);
+        edgeWay = Arrays.copyOf(builder.edgeWay, edgeCount);
+        wayIds = builder.wayIds.toArray(new String[0]);
+
+        length = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            length[e] = GeoUtils.distanceMeters(startLat[e], startLon[e], endLat[e], endLon[e]);
+        }
+
+        int nodeCount = builder.nodeIds.size();
+        nodeEdgeStart = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            nodeEdgeStart[startNode[e] + 1]++;
+            nodeEdgeStart[endNode[e] + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            nodeEdgeStart[n + 1] += nodeEdgeStart[n];
+        }
+        nodeEdges = new int[edgeCount * 2];
+        int[] fill = Arrays.copyOf(nodeEdgeStart, nodeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            nodeEdges[fill[startNode[e]]++] = e;
+            nodeEdges[fill[endNode[e]]++] = e;
+        }
+
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int e = 0; e < edgeCount; e++) {
+            int minRow = cellIndex(Math.min(startLat[e], endLat[e]));
+            int maxRow = cellIndex(Math.max(startLat[e], endLat[e]));
+            int minCol = cellIndex(Math.min(startLon[e], endLon[e]));
+            int maxCol = cellIndex(Math.max(startLon[e], endLon[e]));
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    long key = cellKey(row, col);
+                    List<Integer> list = cells.get(key);
+                    if (list == null) {
+                        list = new ArrayList<>();
+                        cells.put(key, list);
+                    }
+                    list.add(e);
+                }
+            }
+        }
+
+        cellKeys = new long[cells.size()];
+        int i = 0;
+        for (Long key : cells.keySet()) {
+            cellKeys[i++] = key;
+        }
+        Arrays.sort(cellKeys);
+
+        cellStart = new int[cellKeys.length + 1];
+        int total = 0;
+        for (int c = 0; c < cellKeys.length; c++) {
+            cellStart[c] = total;
+            total += cells.get(cellKeys[c]).size();
+        }
+        cellStart[cellKeys.length] = total;
+
+        cellEdges = new int[total];
+        for (int c = 0; c < cellKeys.length; c++) {
+            List<Integer> list = cells.get(cellKeys[c]);
+            for (int k = 0; k < list.size(); k++) {
+                cellEdges[cellStart[c] + k] = list.get(k);
+            }
+        }
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public String getWayId(int edge) {
+        return wayIds[edgeWay[edge]];
+    }
+
+    // Finds the nearest edge of up to maxCandidates distinct ways within radiusMeters, sorted by
+    // distance. Keeping one edge per way stops a densely drawn road from filling every slot with
+    // its own edges and crowding out a parallel road. Writes the edge, the fraction along it of
+    // the projected point and the distance.
+    public int findCandidates(double lat, double lon, double radiusMeters, int maxCandidates,
+                              int[] outEdges, double[] outFractions, double[] outDistances) {
+        double metersPerDegLat = Math.toRadians(1) * GeoUtils.EARTH_RADIUS_METERS;
+        double metersPerDegLon = metersPerDegLat * Math.cos(Math.toRadians(lat));
+        double radiusLat = radiusMeters / metersPerDegLat;
+        double radiusLon = radiusMeters / Math.max(metersPerDegLon, 1e-6);
+
+        int minRow = cellIndex(lat - radiusLat);
+        int maxRow = cellIndex(lat + radiusLat);
+        int minCol = cellIndex(lon - radiusLon);
+        int maxCol = cellIndex(lon + radiusLon);
+        int count = 0;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int c = Arrays.binarySearch(cellKeys, cellKey(row, col));
+                if (c < 0) {
+                    continue;
+                }
+
+                for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                    int e = cellEdges[k];
+
+                    // Project onto the edge in a local equirectangular frame centred on the fix
+                    double ax = (startLon[e] - lon) * metersPerDegLon;
+                    double ay = (startLat[e] - lat) * metersPerDegLat;
+                    double bx = (endLon[e] - lon) * metersPerDegLon;
+                    double by = (endLat[e] - lat) * metersPerDegLat;
+                    double dx = bx - ax;
+                    double dy = by - ay;
+                    double lengthSq = dx * dx + dy * dy;
+                    double t = lengthSq > 0 ? -(ax * dx + ay * dy) / lengthSq : 0;
+                    t = Math.max(0, Math.min(1, t));
+                    double px = ax + t * dx;
+                    double py = ay + t * dy;
+                    double distance = Math.sqrt(px * px + py * py);
+
+                    if (distance > radiusMeters) {
+                        continue;
+                    }
+
+                    // Already holding an edge of this way (or this same edge from another cell):
+                    // keep whichever projects closer
+                    int sameWay = indexOfWay(outEdges, count, edgeWay[e]);
+                    if (sameWay >= 0) {
+                        if (distance >= outDistances[sameWay]) {
+                            continue;
+                        }
+                        for (int m = sameWay; m + 1 < count; m++) {
+                            outEdges[m] = outEdges[m + 1];
+                            outFractions[m] = outFractions[m + 1];
+                            outDistances[m] = outDistances[m + 1];
+                        }
+                        count--;
+                    }
+
+                    if (count == maxCandidates && distance >= outDistances[count - 1]) {
+                        continue;
+                    }
+
+                    // Insertion into the small sorted output arrays
+                    int pos = count < maxCandidates ? count++ : count - 1;
+                    while (pos > 0 && outDistances[pos - 1] > distance) {
+                        outEdges[pos] = outEdges[pos - 1];
+                        outFractions[pos] = outFractions[pos - 1];
+                        outDistances[pos] = outDistances[pos - 1];
+                        pos--;
+                    }
+                    outEdges[pos] = e;
+                    outFractions[pos] = t;
+                    outDistances[pos] = distance;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int indexOfWay(int[] edges, int count, int way) {
+        for (int i = 0; i < count; i++) {
+            if (edgeWay[edges[i]] == way) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    public static class Builder {
+        private int edgeCount = 0;
+        private double[] startLat = new double[256];
+        private double[] startLon = new double[256];
+        private double[] endLat = new double[256];
+        private double[] endLon = new double[256];
+        private int[] startNode = new int[256];
+        private int[] endNode = new int[256];
+        private int[] edgeWay = new int[256];
+        private final List<String> wayIds = new ArrayList<>();
+        private final Map<String, Integer> nodeIds = new HashMap<>();
+
+        // Adds a road polyline; consecutive points become edges
+        public Builder addWay(String wayId, double[] lats, double[] lons) {
+            int way = wayIds.size();
+            wayIds.add(wayId);
+
+            for (int i = 0; i + 1 < lats.length; i++) {
+                if (lats[i] == lats[i + 1] && lons[i] == lons[i + 1]) {
+                    continue;
+                }
+                ensureCapacity(edgeCount + 1);
+                startLat[edgeCount] = lats[i];
+                startLon[edgeCount] = lons[i];
+                endLat[edgeCount] = lats[i + 1];
+                endLon[edgeCount] = lons[i + 1];
+                startNode[edgeCount] = nodeId(lats[i], lons[i]);
+                endNode[edgeCount] = nodeId(lats[i + 1], lons[i + 1]);
+                edgeWay[edgeCount] = way;
+                edgeCount++;
+            }
+            return this;
+        }
+
+        public RoadGraph build() {
+            return new RoadGraph(this);
+        }
+
+        private int nodeId(double lat, double lon) {
+            String key = lat + "," + lon;
+            Integer id = nodeIds.get(key);
+            if (id == null) {
+                id = nodeIds.size();
+                nodeIds.put(key, id);
+            }
+            return id;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= startLat.length) {
+                return;
+            }
+            int capacity = Math.max(required, startLat.length * 2);
+            startLat = Arrays.copyOf(startLat, capacity);
+            startLon = Arrays.copyOf(startLon, capacity);
+            endLat = Arrays.copyOf(endLat, capacity);
+            endLon = Arrays.copyOf(endLon, capacity);
+            startNode = Arrays.copyOf(startNode, capacity);
+            endNode = Arrays.copyOf(endNode, capacity);
+            edgeWay = Arrays.copyOf(edgeWay, capacity);
+        }
+    }
+}
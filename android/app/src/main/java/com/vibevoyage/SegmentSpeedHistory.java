@@ -0,0 +1,173 @@
+package com.vibevoyage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+// Per-segment observed speeds, bucketed by hour of day and kept across trips.
+//
+// Speeds and sample counts live in flat primitive arrays indexed by
+// segmentIndex * BUCKETS + bucket; only the id lookup uses a map.
+public final class SegmentSpeedHistory {
+
+    public static final int BUCKETS = 24;
+
+    private static final int FILE_MAGIC = 0x56565348; // "VVSH"
+    private static final int FILE_VERSION = 1;
+    private static final float MIN_ALPHA = 0.2f;
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private String[] ids = new String[64];
+    private float[] speeds = new float[64 * BUCKETS];
+    private int[] counts = new int[64 * BUCKETS];
+    private int size = 0;
+    private long revision = 0;
+
+    public synchronized int getSegmentCount() {
+        return size;
+    }
+
+    // Bumped on every recorded sample, so callers can skip saving an unchanged history
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    // Mean speed in m/s for the bucket, falling back to the all-day mean; -1 when never observed
+    public synchronized float expectedSpeed(String segmentId, int bucket) {
+        Integer index = indexById.get(segmentId);
+        if (index == null) {
+            return -1;
+        }
+
+        int base = index * BUCKETS;
+        if (counts[base + bucket] > 0) {
+            return speeds[base + bucket];
+        }
+
+        double weighted = 0;
+        int total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            weighted += (double) speeds[base + b] * counts[base + b];
+            total += counts[base + b];
+        }
+        return total > 0 ? (float) (weighted / total) : -1;
+    }
+
+    // Running mean that turns into an exponential average once a bucket has enough samples,
+    // so the history keeps tracking changes in how the road is driven
+    public synchronized void record(String segmentId, int bucket, float speed) {
+        int slot = indexOf(segmentId) * BUCKETS + bucket;
+        int count = counts[slot];
+        float alpha = Math.max(1f / (count + 1), MIN_ALPHA);
+
+        speeds[slot] = count == 0 ? speed : speeds[slot] + alpha * (speed - speeds[slot]);
+        if (count < Integer.MAX_VALUE) {
+            counts[slot] = count + 1;
+        }
+        revision++;
+    }
+
+    public static int bucketOf(long timestampMs, TimeZone timeZone) {
+        long local = timestampMs + timeZone.getOffset(timestampMs);
+        return (int) ((local / 3600000L) % BUCKETS + BUCKETS) % BUCKETS;
+    }
+
+    // Reads the whole file before touching the live history, so a truncated or corrupt file
+    // leaves it exactly as it was
+    public void load(File file) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+
+        String[] loadedIds;
+        float[] loadedSpeeds;
+        int[] loadedCounts;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Unrecognised speed history file: " + file);
+            }
+
+            int segmentCount = in.readInt();
+            if (segmentCount < 0) {
+                throw new IOException("Corrupt speed history file: " + file);
+            }
+            loadedIds = new String[segmentCount];
+            loadedSpeeds = new float[segmentCount * BUCKETS];
+            loadedCounts = new int[segmentCount * BUCKETS];
+            for (int i = 0; i < segmentCount; i++) {
+                loadedIds[i] = in.readUTF();
+                for (int b = 0; b < BUCKETS; b++) {
+                    loadedSpeeds[i * BUCKETS + b] = in.readFloat();
+                    loadedCounts[i * BUCKETS + b] = in.readInt();
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < loadedIds.length; i++) {
+                int base = indexOf(loadedIds[i]) * BUCKETS;
+                System.arraycopy(loadedSpeeds, i * BUCKETS, speeds, base, BUCKETS);
+                System.arraycopy(loadedCounts, i * BUCKETS, counts, base, BUCKETS);
+            }
+        }
+    }
+
+    // Writes to a temporary file and renames it, so a crash mid-write keeps the old history
+    public void save(File file) throws IOException {
+        String[] idsCopy;
+        float[] speedsCopy;
+        int[] countsCopy;
+        int segmentCount;
+
+        synchronized (this) {
+            segmentCount = size;
+            idsCopy = Arrays.copyOf(ids, size);
+            speedsCopy = Arrays.copyOf(speeds, size * BUCKETS);
+            countsCopy = Arrays.copyOf(counts, size * BUCKETS);
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                out.writeUTF(idsCopy[i]);
+                for (int b = 0; b < BUCKETS; b++) {
+                    out.writeFloat(speedsCopy[i * BUCKETS + b]);
+                    out.writeInt(countsCopy[i * BUCKETS + b]);
+                }
+            }
+        }
+
+        if (!temp.renameTo(file)) {
+            throw new IOException("Failed to replace speed history file: " + file);
+        }
+    }
+
+    private int indexOf(String segmentId) {
+        Integer index = indexById.get(segmentId);
+        if (index != null) {
+            return index;
+        }
+
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            speeds = Arrays.copyOf(speeds, capacity * BUCKETS);
+            counts = Arrays.copyOf(counts, capacity * BUCKETS);
+        }
+        ids[size] = segmentId;
+        indexById.put(segmentId, size);
+        return size++;
+    }
+}
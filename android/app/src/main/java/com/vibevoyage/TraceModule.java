@@ -0,0 +1,60 @@
+package com.vibevoyage;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+public class TraceModule extends ReactContextBaseJavaModule {
+    private static final String MODULE_NAME = "TraceModule";
+
+    private ReactApplicationContext reactContext;
+
+    public TraceModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        this.reactContext = reactContext;
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    @ReactMethod
+    public void setTracingEnabled(boolean enabled, Promise promise) {
+        NativeTracer.setEnabled(enabled);
+        promise.resolve(enabled);
+    }
+
+    @ReactMethod
+    public void clearTrace(Promise promise) {
+        NativeTracer.clear();
+        promise.resolve(true);
+    }
+
+    @ReactMethod
+    public void exportTrace(Promise promise) {
+        try {
+            File file = new File(reactContext.getCacheDir(), "vibevoyage-trace-" + System.currentTimeMillis() + ".json");
+            int events;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"))) {
+                events = NativeTracer.export(writer);
+            }
+
+            WritableMap result = Arguments.createMap();
+            result.putString("path", file.getAbsolutePath());
+            result.putInt("events", events);
+            promise.resolve(result);
+        } catch (Exception e) {
+            promise.reject("TRACE_EXPORT_ERROR", "Failed to export trace", e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.vibevoyage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+// Offline map-matching checks on synthetic 10 Hz traces; RoadGraph and MapMatcher need only the JDK
+public class MapMatcherTest {
+
+    private static final double ORIGIN_LAT = 40.7;
+    private static final double ORIGIN_LON = -74.0;
+    private static final double METERS_PER_DEG_LAT = Math.toRadians(1) * GeoUtils.EARTH_RADIUS_METERS;
+    private static final double METERS_PER_DEG_LON = METERS_PER_DEG_LAT * Math.cos(Math.toRadians(ORIGIN_LAT));
+
+    private static double lat(double northMeters) {
+        return ORIGIN_LAT + northMeters / METERS_PER_DEG_LAT;
+    }
+
+    private static double lon(double eastMeters) {
+        return ORIGIN_LON + eastMeters / METERS_PER_DEG_LON;
+    }
+
+    // Straight east-west way at northMeters, with a point every spacingMeters
+    private static void addEastWestWay(RoadGraph.Builder builder, String id, double northMeters,
+                                       double fromEast, double toEast, double spacingMeters) {
+        int points = (int) Math.round((toEast - fromEast) / spacingMeters) + 1;
+        double[] lats = new double[points];
+        double[] lons = new double[points];
+        for (int i = 0; i < points; i++) {
+            lats[i] = lat(northMeters);
+            lons[i] = lon(fromEast + i * spacingMeters);
+        }
+        builder.addWay(id, lats, lons);
+    }
+
+    private static RoadGraph parallelRoads() {
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        addEastWestWay(builder, "A", 0, 0, 1000, 2);
+        addEastWestWay(builder, "B", 20, 0, 1000, 2);
+        return builder.build();
+    }
+
+    @Test
+    public void candidatesIncludeEveryNearbyRoadWhenWaysAreDense() {
+        RoadGraph graph = parallelRoads();
+        int[] edges = new int[MapMatcher.MAX_CANDIDATES];
+        double[] fractions = new double[MapMatcher.MAX_CANDIDATES];
+        double[] distances = new double[MapMatcher.MAX_CANDIDATES];
+
+        int count = graph.findCandidates(lat(11), lon(500), 50, MapMatcher.MAX_CANDIDATES,
+            edges, fractions, distances);
+
+        assertEquals(2, count);
+        assertEquals("B", graph.getWayId(edges[0]));
+        assertEquals("A", graph.getWayId(edges[1]));
+        assertEquals(11, distances[1], 0.1);
+    }
+
+    @Test
+    public void recordedTraceOnParallelRoadsStaysOnTheDrivenRoad() {
+        RoadGraph graph = parallelRoads();
+        Random random = new Random(7);
+        int fixes = 390;
+        double[] lats = new double[fixes];
+        double[] lons = new double[fixes];
+        long[] timestamps = new long[fixes];
+        for (int i = 0; i < fixes; i++) {
+            lats[i] = lat(random.nextGaussian() * 5);
+            lons[i] = lon(10 + i * 2.5);
+            timestamps[i] = i * 100L;
+        }
+
+        double[] outLats = new double[fixes];
+        double[] outLons = new double[fixes];
+        String[] wayIds = new String[fixes];
+        MapMatcher.matchTrace(graph, lats, lons, timestamps, outLats, outLons, wayIds);
+
+        int onA = 0;
+        for (int i = 0; i < fixes; i++) {
+            if ("A".equals(wayIds[i])) {
+                onA++;
+            }
+            // Snapped onto a road: either way A or way B's latitude
+            assertTrue(Math.abs(outLats[i] - lat(0)) < 1e-7 || Math.abs(outLats[i] - lat(20)) < 1e-7);
+        }
+        assertTrue("matched to A for only " + onA + " of " + fixes, onA >= fixes * 0.95);
+    }
+
+    @Test
+    public void turnAtJunctionChangesConfirmedWay() {
+        // "west" runs east into a junction at (0, 0), where "east" continues and "north" turns off
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        addEastWestWay(builder, "west", 0, -300, 0, 10);
+        addEastWestWay(builder, "east", 0, 0, 300, 10);
+        double[] northLats = new double[31];
+        double[] northLons = new double[31];
+        for (int i = 0; i <= 30; i++) {
+            northLats[i] = lat(i * 10);
+            northLons[i] = lon(0);
+        }
+        builder.addWay("north", northLats, northLons);
+        MapMatcher matcher = new MapMatcher(builder.build());
+
+        Random random = new Random(11);
+        long time = 0;
+        String confirmedBeforeTurn = null;
+        for (double east = -200; east < 0; east += 2.5, time += 100) {
+            MapMatcher.MatchResult match = matcher.match(
+                lat(random.nextGaussian() * 3), lon(east + random.nextGaussian() * 3), time);
+            confirmedBeforeTurn = match.confirmedWayId;
+        }
+        assertEquals("west", confirmedBeforeTurn);
+
+        String confirmedAfterTurn = null;
+        String currentAfterTurn = null;
+        for (double north = 0; north < 200; north += 2.5, time += 100) {
+            MapMatcher.MatchResult match = matcher.match(
+                lat(north + random.nextGaussian() * 3), lon(random.nextGaussian() * 3), time);
+            confirmedAfterTurn = match.confirmedWayId;
+            currentAfterTurn = match.wayId;
+        }
+        assertEquals("north", currentAfterTurn);
+        assertEquals("north", confirmedAfterTurn);
+    }
+
+    @Test
+    public void isolatedOffRoadFixKeepsTheChain() {
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        addEastWestWay(builder, "A", 0, 0, 500, 10);
+        MapMatcher matcher = new MapMatcher(builder.build());
+
+        long time = 0;
+        for (int i = 0; i < MapMatcher.WINDOW; i++, time += 100) {
+            matcher.match(lat(1), lon(10 + i * 2.5), time);
+        }
+
+        // Multipath jump 200 m off the road: raw position, no way
+        MapMatcher.MatchResult outlier = matcher.match(lat(200), lon(30), time);
+        assertFalse(outlier.matched);
+        assertNull(outlier.wayId);
+        assertEquals(lat(200), outlier.latitude, 1e-12);
+        time += 100;
+
+        // The window survived, so the very next fix is already confirmed
+        MapMatcher.MatchResult next = matcher.match(lat(1), lon(35), time);
+        assertTrue(next.matched);
+        assertEquals("A", next.confirmedWayId);
+    }
+
+    @Test
+    public void runOfOffRoadFixesResetsTheChain() {
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        addEastWestWay(builder, "A", 0, 0, 500, 10);
+        MapMatcher matcher = new MapMatcher(builder.build());
+
+        long time = 0;
+        for (int i = 0; i < MapMatcher.WINDOW; i++, time += 100) {
+            matcher.match(lat(1), lon(10 + i * 2.5), time);
+        }
+        for (int i = 0; i < 5; i++, time += 100) {
+            assertFalse(matcher.match(lat(200), lon(30), time).matched);
+        }
+
+        MapMatcher.MatchResult next = matcher.match(lat(1), lon(35), time);
+        assertTrue(next.matched);
+        assertNull(next.confirmedWayId);
+    }
+
+    @Test
+    public void gapOfMoreThanTenSecondsResetsTheChain() {
+        RoadGraph.Builder builder = new RoadGraph.Builder();
+        addEastWestWay(builder, "A", 0, 0, 500, 10);
+        MapMatcher matcher = new MapMatcher(builder.build());
+
+        long time = 0;
+        MapMatcher.MatchResult match = null;
+        for (int i = 0; i < MapMatcher.WINDOW; i++, time += 100) {
+            match = matcher.match(lat(1), lon(10 + i * 2.5), time);
+        }
+        assertNotNull(match.confirmedWayId);
+
+        time += 10000;
+        match = matcher.match(lat(1), lon(60), time);
+        assertTrue(match.matched);
+        assertEquals("A", match.wayId);
+        assertNull(match.confirmedWayId);
+
+        // Refills the window after WINDOW fixes
+        for (int i = 1; i < MapMatcher.WINDOW; i++) {
+            match = matcher.match(lat(1), lon(60 + i * 2.5), time + i * 100L);
+        }
+        assertEquals("A", match.confirmedWayId);
+    }
+}